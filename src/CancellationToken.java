@@ -0,0 +1,15 @@
+/**
+ * Lets another thread ask a running search to stop. The search checks the token cooperatively and returns its best result so far.
+ */
+public class CancellationToken {
+    private volatile boolean cancelled = false;
+
+    // Request the search to stop.
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+}
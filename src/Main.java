@@ -84,12 +84,16 @@ public class Main {
         // Create initial state
         State initialState = new State(leftBank, rightBank, true, 0);
 
+        // Keep the frontier and the closed set within half of the heap, so a large input stops instead of running out of memory.
+        SearchLimits limits = new SearchLimits(0, Runtime.getRuntime().maxMemory() / 2, 0);
+
         // Find solution
-        SpaceSearcher searcher = new SpaceSearcher();
+        // Large families use partial expansion to keep the frontier small.
+        SpaceSearcher searcher = new SpaceSearcher(rightBank.size() >= SpaceSearcher.PARTIAL_EXPANSION_MIN_MEMBERS, limits);
         long start = System.currentTimeMillis();
-        State finalState = searcher.AStarAlgorithm(initialState);
+        SearchResult result = searcher.AStarAlgorithm(initialState);
         long end = System.currentTimeMillis();
-        SpaceSearcher.retrievePath(finalState);
+        SpaceSearcher.retrievePath(result);
         // Total time of searching in seconds.
         System.out.println("Search time: " + (double)(end - start) / 1000 + " sec"); 
     }
@@ -0,0 +1,37 @@
+/**
+ * Holds the resource limits of a search: expanded nodes, estimated memory retained by the frontier and the closed set, and wall-clock time.
+ * A limit of 0 means that the resource is not limited.
+ */
+public class SearchLimits {
+    // No limits at all, the search only stops on a solution or when the total time of the problem is exceeded.
+    public static final SearchLimits NONE = new SearchLimits(0, 0, 0);
+
+    private long maxExpandedNodes;
+    private long maxRetainedBytes;
+    private long maxWallClockMillis;
+
+    // Constructor
+    SearchLimits(long maxExpandedNodes, long maxRetainedBytes, long maxWallClockMillis) {
+        this.maxExpandedNodes = maxExpandedNodes;
+        this.maxRetainedBytes = maxRetainedBytes;
+        this.maxWallClockMillis = maxWallClockMillis;
+    }
+
+    // Getters
+    public long getMaxExpandedNodes() {
+        return this.maxExpandedNodes;
+    }
+
+    public long getMaxRetainedBytes() {
+        return this.maxRetainedBytes;
+    }
+
+    public long getMaxWallClockMillis() {
+        return this.maxWallClockMillis;
+    }
+
+    @Override
+    public String toString(){
+        return "Max expanded nodes: " + this.getMaxExpandedNodes() + " - Max retained bytes: " + this.getMaxRetainedBytes() + " - Max wall-clock millis: " + this.getMaxWallClockMillis();
+    }
+}
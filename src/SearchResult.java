@@ -0,0 +1,61 @@
+/**
+ * Outcome of an A* search: why it stopped, the final state (only when solved), the best bound found so far and the number of expanded nodes.
+ * The best bound is the cost of the solution when solved, otherwise the lowest f-value left in the frontier when the search stopped
+ * (a lower bound on the optimal cost as far as the heuristic is admissible).
+ */
+public class SearchResult {
+    public enum Status {
+        SOLVED,
+        TOTAL_TIME_EXCEEDED,
+        NO_SOLUTION,
+        NODE_LIMIT_REACHED,
+        MEMORY_LIMIT_REACHED,
+        WALL_CLOCK_LIMIT_REACHED,
+        CANCELLED
+    }
+
+    private Status status;
+    private State finalState;
+    private int bestBound;
+    private long expandedNodes;
+
+    // Constructor
+    SearchResult(Status status, State finalState, int bestBound, long expandedNodes) {
+        this.status = status;
+        this.finalState = finalState;
+        this.bestBound = bestBound;
+        this.expandedNodes = expandedNodes;
+    }
+
+    // Check if the search found the optimal solution.
+    public boolean isSolved() {
+        return this.status == Status.SOLVED;
+    }
+
+    // Check if the search was stopped by a resource limit or a cancellation before it could finish.
+    public boolean isStoppedEarly() {
+        return this.status != Status.SOLVED && this.status != Status.TOTAL_TIME_EXCEEDED && this.status != Status.NO_SOLUTION;
+    }
+
+    // Getters
+    public Status getStatus() {
+        return this.status;
+    }
+
+    public State getFinalState() {
+        return this.finalState;
+    }
+
+    public int getBestBound() {
+        return this.bestBound;
+    }
+
+    public long getExpandedNodes() {
+        return this.expandedNodes;
+    }
+
+    @Override
+    public String toString(){
+        return "Status: " + this.getStatus() + " - Best bound: " + this.getBestBound() + " - Expanded nodes: " + this.getExpandedNodes();
+    }
+}
@@ -10,27 +10,68 @@ import java.util.HashSet;
 import java.util.PriorityQueue;
 
 public class SpaceSearcher {
+    // Family size from which Main switches to partial expansion.
+    public static final int PARTIAL_EXPANSION_MIN_MEMBERS = 30;
+    // Iterations between two checks of the clock, the cancellation token and the thread interrupt.
+    private static final int CHECK_INTERVAL = 1024;
+    // Estimated bytes of a state without its bank entries, and per bank entry.
+    private static final int STATE_BASE_BYTES = 160;
+    private static final int REFERENCE_BYTES = 4;
     public static int timePassed = 0;
     private PriorityQueue<State> frontier;
     private HashSet<State> closedSet;
+    // Generate only the children with f equal to the stored value of the expanded state (PEA*).
+    private boolean partialExpansion;
+    // Limits on expanded nodes, retained memory and wall-clock time.
+    private SearchLimits limits;
 
     // Constructor
     SpaceSearcher() {
-        // Initialize the frontier to hold unexplored states, prioritized by their total cost.
-        this.frontier = new PriorityQueue<>(Comparator.comparing(State::getTotalCost)); 
+        this(false);
+    }
+
+    // Overloaded Constructor
+    SpaceSearcher(boolean partialExpansion) {
+        this(partialExpansion, SearchLimits.NONE);
+    }
+
+    // Overloaded Constructor
+    SpaceSearcher(boolean partialExpansion, SearchLimits limits) {
+        this.partialExpansion = partialExpansion;
+        this.limits = limits;
+        // Initialize the frontier to hold unexplored states, prioritized by their total cost (or their stored value under partial expansion).
+        this.frontier = partialExpansion
+                ? new PriorityQueue<>(Comparator.comparing(State::getStoredCost))
+                : new PriorityQueue<>(Comparator.comparing(State::getTotalCost));
         // Initialize the closed set to store explored states.
         this.closedSet = new HashSet<>();
     }
+
+    SearchResult AStarAlgorithm(State initialState) {
+        return this.AStarAlgorithm(initialState, new CancellationToken());
+    }
     
-    State AStarAlgorithm(State initialState) {
+    SearchResult AStarAlgorithm(State initialState, CancellationToken token) {
         // Step 0 -> if initial state final, return.
-        if (initialState.isFinalState()) return initialState;
+        if (initialState.isFinalState()) return new SearchResult(SearchResult.Status.SOLVED, initialState, initialState.getCost(), 0);
+
+        long startTime = System.nanoTime();
+        long expandedNodes = 0;
+        long iterations = 0;
+        long bytesPerState = estimateStateBytes(initialState.getLeftBank().size() + initialState.getRightBank().size());
 
         // Step 1 -> put initial state in the frontier.
         this.frontier.add(initialState);
         
         // Step 2 -> check for empty frontier.
         while(this.frontier.size() > 0) { 
+            // Stop early if a resource limit was reached or the search was cancelled.
+            SearchResult.Status stopStatus = this.checkLimits(expandedNodes, bytesPerState, iterations++, startTime, token);
+            if (stopStatus != null) {
+                // Best bound = f-value the search had reached, i.e. the lowest one still in the frontier.
+                return new SearchResult(stopStatus, null, this.getPriority(this.frontier.peek()), expandedNodes);
+            }
+
             //Step 3 ->  get the first node out of the frontier.
             State currentState = this.frontier.remove(); 
             // update time passed.
@@ -38,31 +79,92 @@ public class SpaceSearcher {
             
             // if Total Search Time was exceeded stop searching
             if (timePassed > Main.totalTime){
-                return null;            
+                return new SearchResult(SearchResult.Status.TOTAL_TIME_EXCEEDED, null, this.getPriority(currentState), expandedNodes);
             }
             
             // Step 4 -> if final state, return.
             if (currentState.isFinalState()) { 
-                return currentState; 
+                return new SearchResult(SearchResult.Status.SOLVED, currentState, currentState.getCost(), expandedNodes); 
             }
 
             // Step 5 -> add valid states to the frontier and only add new states to the closed set.
-            if (!this.closedSet.contains(currentState)) { 
+            if (this.partialExpansion) {
+                // A partially expanded state comes back with its next stored value, any other copy of a closed state is skipped.
+                if (currentState.isPartiallyExpanded() || this.closedSet.add(currentState)) {
+                    this.frontier.addAll(currentState.getPartialChildren());
+                    expandedNodes++;
+                    // Re-insert the state if it still has children with a higher f-value.
+                    if (currentState.hasUnexpandedChildren()) {
+                        this.frontier.add(currentState);
+                    }
+                }
+            }
+            else if (!this.closedSet.contains(currentState)) { 
                 this.closedSet.add(currentState); 
                 this.frontier.addAll(currentState.getChildren()); 
+                expandedNodes++;
             }
         }
 
-        // Step 6 -> retrieve and return final state.
-        State finalState = frontier.peek();
-        return finalState;
+        // Step 6 -> frontier exhausted without reaching the final state.
+        return new SearchResult(SearchResult.Status.NO_SOLUTION, null, Integer.MAX_VALUE, expandedNodes);
+    }
+
+    // Value the frontier is ordered by.
+    private int getPriority(State state) {
+        return this.partialExpansion ? state.getStoredCost() : state.getTotalCost();
     }
 
-    static void retrievePath(State finalState) {
+    /**
+     * Checks the resource limits and the cancellation, returns the reason to stop or null to continue.
+     * Node count and memory are checked on every iteration, clock, token and thread interrupt only every CHECK_INTERVAL iterations.
+     */
+    private SearchResult.Status checkLimits(long expandedNodes, long bytesPerState, long iterations, long startTime, CancellationToken token) {
+        if (this.limits.getMaxExpandedNodes() > 0 && expandedNodes >= this.limits.getMaxExpandedNodes()) {
+            return SearchResult.Status.NODE_LIMIT_REACHED;
+        }
+        if (this.limits.getMaxRetainedBytes() > 0
+                && (long) (this.frontier.size() + this.closedSet.size()) * bytesPerState > this.limits.getMaxRetainedBytes()) {
+            return SearchResult.Status.MEMORY_LIMIT_REACHED;
+        }
+        if (iterations % CHECK_INTERVAL != 0) {
+            return null;
+        }
+        if (token.isCancelled() || Thread.currentThread().isInterrupted()) {
+            return SearchResult.Status.CANCELLED;
+        }
+        if (this.limits.getMaxWallClockMillis() > 0
+                && System.nanoTime() - startTime > this.limits.getMaxWallClockMillis() * 1_000_000L) {
+            return SearchResult.Status.WALL_CLOCK_LIMIT_REACHED;
+        }
+        return null;
+    }
+
+    /*
+    Rough size of a state kept in the frontier or the closed set (compressed references):
+    the State object, its two ArrayLists with their backing arrays (up to 1.5x spare capacity),
+    and the HashSet entry or PriorityQueue slot that holds it.
+    The family members themselves are shared by all states and are not counted.
+    */
+    private static long estimateStateBytes(int familySize) {
+        return STATE_BASE_BYTES + (long) Math.ceil(familySize * REFERENCE_BYTES * 1.5);
+    }
+
+    static void retrievePath(SearchResult result) {
+        State finalState = result.getFinalState();
         // Time to find solution exceeded
-        if (finalState ==null) {
+        if (result.getStatus() == SearchResult.Status.TOTAL_TIME_EXCEEDED) {
             System.out.println("The maximum time for finding the solution has been exceeded !");
         }
+        // Search stopped before it could finish
+        else if (result.isStoppedEarly()) {
+            System.out.println("The search was stopped early (" + result.getStatus() + ") after " + result.getExpandedNodes() + " expanded states !");
+            System.out.println("Best bound reached by the search: " + result.getBestBound());
+        }
+        // No more states to explore
+        else if (result.getStatus() == SearchResult.Status.NO_SOLUTION) {
+            System.out.println("No solution could be found !");
+        }
         // Solution found in time
         else if (finalState.isFinalState()){
             System.out.println("Optimal solution found !");
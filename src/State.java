@@ -4,6 +4,7 @@
  */
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 public class State implements Comparable<State> {
@@ -18,6 +19,10 @@ public class State implements Comparable<State> {
     private int heuristic;
     // Total cost of this state: f(n) = g(n) + h(n)
     private int totalCost;
+    // Stored value F(n) used by partial expansion, starts at f(n) and grows with every partial expansion
+    private int storedCost;
+    // Highest f-value whose children have already been generated by a partial expansion
+    private int expandedBound = Integer.MIN_VALUE;
     // Parent state
     private State father = null;
     
@@ -29,7 +34,7 @@ public class State implements Comparable<State> {
         this.cost = 0;
         this.heuristic = 0;
         this.totalCost = 0;
-
+        this.storedCost = 0;
     }
     
     // Overloaded Constructor
@@ -40,6 +45,7 @@ public class State implements Comparable<State> {
         this.cost = cost;
         this.heuristic = calculateHeuristic2();
         this.totalCost = this.cost + this.heuristic;
+        this.storedCost = this.totalCost;
     }
     
     // Copy Constructor
@@ -50,6 +56,7 @@ public class State implements Comparable<State> {
         this.cost = currentState.getCost();
         this.heuristic = currentState.getHeuristic();
         this.totalCost = currentState.getTotalCost();
+        this.storedCost = this.totalCost;
     }
     
     // Overloaded toString Function
@@ -151,7 +158,99 @@ public class State implements Comparable<State> {
             }
         }
 
-        return children; 
+        return children;
+    }
+
+    /**
+        * Partial expansion (PEA*): generates only the child states whose total cost lies between the last expanded bound and the stored value F(n) of this state.
+        * The f-value of every move is computed from the sorted member times without creating the child, so only the selected children are allocated.
+        * Afterwards the stored value is raised to the smallest f-value that was left out, see hasUnexpandedChildren().
+    */
+    ArrayList<State> getPartialChildren() {
+        ArrayList<State> children = new ArrayList<>();
+
+        // Get the bank that the lantern is on, sorted from the slowest to the fastest family member.
+        List<FamilyMember> currentBank = isLanternOnRightBank() ? this.rightBank : this.leftBank;
+        List<FamilyMember> otherBank = isLanternOnRightBank() ? this.leftBank : this.rightBank;
+        List<FamilyMember> sortedBank = new ArrayList<>(currentBank);
+        sortedBank.sort(Comparator.comparingInt(FamilyMember::getTime).reversed());
+
+        int size = sortedBank.size();
+        int[] times = new int[size];
+        for (int i = 0; i < size; i++) {
+            times[i] = sortedBank.get(i).getTime();
+        }
+
+        // Extreme times of the bank without the lantern, which only grows by the moving family members.
+        int minTimeOther = Integer.MAX_VALUE;
+        int maxTimeOther = 0;
+        for (FamilyMember fm : otherBank) {
+            int temp = fm.getTime();
+            if (temp < minTimeOther) {
+                minTimeOther = temp;
+            }
+            if (temp > maxTimeOther) {
+                maxTimeOther = temp;
+            }
+        }
+
+        int lowerBound = this.expandedBound;
+        int upperBound = this.storedCost;
+        int nextStoredCost = Integer.MAX_VALUE;
+
+        // Single crossings (j == i) and pair crossings (j > i), the slower member i always sets the crossing cost.
+        for (int i = 0; i < size; i++) {
+            for (int j = i; j < size; j++) {
+                int movedCount = (j == i) ? 1 : 2;
+                int fastest = times[j];
+                int childCost = this.cost + times[i];
+                int childHeuristic;
+
+                if (isLanternOnRightBank()) {
+                    // Right -> Left: the slowest remaining member on the right bank is the first one not moving.
+                    int k = (i > 0) ? 0 : (j > 1 || j == i) ? 1 : 2;
+                    int maxTimeRight = (k < size) ? times[k] : 0;
+                    childHeuristic = estimateHeuristic2(otherBank.size() + movedCount, size - movedCount,
+                            Math.min(minTimeOther, fastest), Integer.MAX_VALUE, maxTimeRight, false);
+                } else {
+                    // Left -> Right: the moving members join the right bank.
+                    childHeuristic = estimateHeuristic2(size - movedCount, otherBank.size() + movedCount,
+                            Integer.MAX_VALUE, Math.min(minTimeOther, fastest), Math.max(maxTimeOther, times[i]), true);
+                }
+
+                int childTotalCost = childCost + childHeuristic;
+                // Child belongs to a later expansion of this state.
+                if (childTotalCost > upperBound) {
+                    nextStoredCost = Math.min(nextStoredCost, childTotalCost);
+                    continue;
+                }
+                // Child was already generated by an earlier expansion of this state.
+                if (childTotalCost <= lowerBound) continue;
+
+                State child = new State(this);
+                child.crossRiver(sortedBank.get(i), (j == i) ? null : sortedBank.get(j));
+                child.setFather(this);
+                children.add(child);
+            }
+        }
+
+        // Remember what has been generated and raise the stored value to the next f-value (if any is left).
+        this.expandedBound = upperBound;
+        if (nextStoredCost != Integer.MAX_VALUE) {
+            this.storedCost = nextStoredCost;
+        }
+
+        return children;
+    }
+
+    // Check if a partial expansion left children that still have to be generated.
+    boolean hasUnexpandedChildren() {
+        return this.storedCost > this.expandedBound;
+    }
+
+    // Check if this state has been (partially) expanded before.
+    boolean isPartiallyExpanded() {
+        return this.expandedBound != Integer.MIN_VALUE;
     }
 
     // Crossing function
@@ -275,6 +374,7 @@ public class State implements Comparable<State> {
             this.setCost(newCost);
             this.setHeuristic(this.calculateHeuristic2());
             this.setTotalCost(this.getCost() + this.getHeuristic());
+            this.setStoredCost(this.getTotalCost());
     }
     
     // First Heuristic Function
@@ -311,54 +411,55 @@ public class State implements Comparable<State> {
     - The cost of the return trips to get the lantern back to the right bank.
     */
     private int calculateHeuristic2(){
+        int minTimeRight = Integer.MAX_VALUE;
+        int maxTimeRight = 0;
+        // Find the minimum and maximum time taken by the remaining family members to cross the river (from right to left).
+        for (FamilyMember fm : this.rightBank) {
+            int temp = fm.getTime();
+            if (temp < minTimeRight) {
+                minTimeRight = temp;
+            }
+            if (temp > maxTimeRight) {
+                maxTimeRight = temp;
+            }
+        }
+
+        int minTimeLeft = Integer.MAX_VALUE;
+        for (FamilyMember fm : this.leftBank) {
+            int temp = fm.getTime();
+            if (temp < minTimeLeft) {
+                minTimeLeft = temp;
+            }
+        }
+
+        return estimateHeuristic2(this.leftBank.size(), this.rightBank.size(), minTimeLeft, minTimeRight, maxTimeRight, this.lanternOnRightBank);
+    }
+
+    // Second heuristic computed only from the bank sizes and extreme times, so it can also be evaluated for a move without building the child state.
+    private static int estimateHeuristic2(int leftSize, int rightSize, int minTimeLeft, int minTimeRight, int maxTimeRight, boolean lanternOnRightBank) {
         int heuristic;
-        
+
         // start state -> heuristic value = sum of all family members' times minus the time of the fastest family member times the number of pairs of family members
-        if (this.isStartState()) {
-            int minTime = Integer.MAX_VALUE;
-            for (FamilyMember fm : this.rightBank) {
-                int temp = fm.getTime();
-                if (temp < minTime) {
-                    minTime = temp;
-                }
-            }
-            heuristic = Main.sumTime - ( minTime* Math.floorDiv(this.rightBank.size(), 2));
+        if (leftSize == 0) {
+            heuristic = Main.sumTime - ( minTimeRight* Math.floorDiv(rightSize, 2));
             return heuristic;
         }
-        
+
         // final state -> heuristic value = 0
-        if (this.isFinalState()) {
+        if (rightSize == 0) {
             heuristic = 0;
             return heuristic;
         }
 
-        int maxTimeRight = 0;
-        // Find the maximum time taken by the remaining family members to cross the river (from right to left).
-        for (FamilyMember fm : this.rightBank) {
-            int temp = fm.getTime();
-            if (temp > maxTimeRight) {
-               maxTimeRight = temp;
-            }
-        }
-        
         // Calculate the heuristic as the maximum time multiplied by the number of pairs of family members.
-        int numOfPairs = Math.floorDiv(this.rightBank.size(), 2);
+        int numOfPairs = Math.floorDiv(rightSize, 2);
         heuristic = numOfPairs * maxTimeRight; // every pair takes the same time to cross the river. (maxTimeRight)
-        int numReturnTrips = Math.floorMod(this.rightBank.size(), 2); // remaining family member to cross 0 or 1, waits for lantern
-        numReturnTrips = (this.rightBank.size()%2 == 1)  ? numReturnTrips + 1 : numReturnTrips; // +1 if odd number of Family Members for the last trip
+        int numReturnTrips = Math.floorMod(rightSize, 2); // remaining family member to cross 0 or 1, waits for lantern
+        numReturnTrips = (rightSize%2 == 1)  ? numReturnTrips + 1 : numReturnTrips; // +1 if odd number of Family Members for the last trip
         heuristic = heuristic + numReturnTrips; 
         
-        // Calculate the minimum time on the left bank only if the lantern is there.
-        if (!this.lanternOnRightBank) {
-            int minTimeLeft = Integer.MAX_VALUE;
-            for (FamilyMember fm : this.leftBank) {
-                int temp = fm.getTime();
-                if (temp < minTimeLeft) {
-                    minTimeLeft = temp;
-                }
-            }
-            // In case there are no family members on the left bank, set minTimeLeft to 0
-            minTimeLeft = (this.leftBank.isEmpty()) ? 0 : minTimeLeft;
+        // Add the minimum time on the left bank only if the lantern is there.
+        if (!lanternOnRightBank) {
             heuristic += minTimeLeft;
         }  
         return heuristic;
@@ -430,5 +531,13 @@ public class State implements Comparable<State> {
     public void setTotalCost(int totalCost) {
         this.totalCost = totalCost;
     }
+
+    public int getStoredCost() {
+        return storedCost;
+    }
+
+    public void setStoredCost(int storedCost) {
+        this.storedCost = storedCost;
+    }
 }
     